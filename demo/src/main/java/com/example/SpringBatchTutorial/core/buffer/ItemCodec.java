@@ -0,0 +1,15 @@
+package com.example.SpringBatchTutorial.core.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 아이템 <-> 바이너리 변환
+ * - OffHeapChunkBuffer 가 아이템을 힙 밖(ByteBuffer)에 보관할 때 사용
+ * - encode 는 버퍼의 현재 position 부터 쓰고, decode 는 encode 한 순서 그대로 읽어야 함
+ */
+public interface ItemCodec<T> {
+
+    void encode(T item, ByteBuffer out);
+
+    T decode(ByteBuffer in);
+}
@@ -33,4 +33,12 @@ public class Accounts {
         this.accountDate = new Date();
     }
 
+    // 엔티티를 거치지 않고 컬럼 값으로 바로 생성 (AccountsCodec, 이관 Tasklet 에서 사용 / id 는 저장 시 DB가 생성)
+    public Accounts(String orderItem, Integer price, Date orderDate, Date accountDate) {
+        this.orderItem = orderItem;
+        this.price = price;
+        this.orderDate = orderDate;
+        this.accountDate = accountDate;
+    }
+
 }
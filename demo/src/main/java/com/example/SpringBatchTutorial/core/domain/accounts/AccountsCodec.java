@@ -0,0 +1,62 @@
+package com.example.SpringBatchTutorial.core.domain.accounts;
+
+import com.example.SpringBatchTutorial.core.buffer.ItemCodec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Accounts 바이너리 코덱 (id 는 저장 시 DB가 생성하므로 제외)
+ * [null 여부 비트 1byte][orderItem 길이 int + UTF-8][price int][orderDate long][accountDate long]
+ * - null 인 필드는 비트만 세우고 값은 기록하지 않음
+ */
+public class AccountsCodec implements ItemCodec<Accounts> {
+
+    private static final int ORDER_ITEM_NULL = 1;
+    private static final int PRICE_NULL = 1 << 1;
+    private static final int ORDER_DATE_NULL = 1 << 2;
+    private static final int ACCOUNT_DATE_NULL = 1 << 3;
+
+    @Override
+    public void encode(Accounts item, ByteBuffer out) {
+        int nulls = 0;
+        if (item.getOrderItem() == null) nulls |= ORDER_ITEM_NULL;
+        if (item.getPrice() == null) nulls |= PRICE_NULL;
+        if (item.getOrderDate() == null) nulls |= ORDER_DATE_NULL;
+        if (item.getAccountDate() == null) nulls |= ACCOUNT_DATE_NULL;
+        out.put((byte) nulls);
+
+        if (item.getOrderItem() != null) {
+            byte[] orderItem = item.getOrderItem().getBytes(StandardCharsets.UTF_8);
+            out.putInt(orderItem.length);
+            out.put(orderItem);
+        }
+        if (item.getPrice() != null) {
+            out.putInt(item.getPrice());
+        }
+        if (item.getOrderDate() != null) {
+            out.putLong(item.getOrderDate().getTime());
+        }
+        if (item.getAccountDate() != null) {
+            out.putLong(item.getAccountDate().getTime());
+        }
+    }
+
+    @Override
+    public Accounts decode(ByteBuffer in) {
+        int nulls = in.get();
+
+        String orderItem = null;
+        if ((nulls & ORDER_ITEM_NULL) == 0) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            orderItem = new String(bytes, StandardCharsets.UTF_8);
+        }
+        Integer price = (nulls & PRICE_NULL) == 0 ? in.getInt() : null;
+        Date orderDate = (nulls & ORDER_DATE_NULL) == 0 ? new Date(in.getLong()) : null;
+        Date accountDate = (nulls & ACCOUNT_DATE_NULL) == 0 ? new Date(in.getLong()) : null;
+
+        return new Accounts(orderItem, price, orderDate, accountDate);
+    }
+}
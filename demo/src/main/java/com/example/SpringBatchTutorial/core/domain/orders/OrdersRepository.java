@@ -1,6 +1,11 @@
 package com.example.SpringBatchTutorial.core.domain.orders;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface OrdersRepository extends JpaRepository<Orders, Integer> {
+
+    // 주문 금액 합계 (엔티티를 메모리에 올리지 않고 DB에서 바로 집계)
+    @Query("select coalesce(sum(o.price), 0) from Orders o")
+    Long sumPrice();
 }
@@ -0,0 +1,89 @@
+package com.example.SpringBatchTutorial.job.DbDataReadWirete;
+
+import com.example.SpringBatchTutorial.job.DbDataReadWirete.Validator.ChunkSizeParamValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * desc: 주문 테이블 -> 정산 테이블 데이터 이관 (큰 청크용, off-heap 버퍼 사용)
+ * run : --spring.batch.job.name=trMigrationSpillJob chunkSize=100000 run.id=1
+ * - incrementer 가 없으므로 다시 실행할 때는 run.id 등 파라미터를 바꿔서 넘겨야 함
+ *   (Batch 6 은 incrementer 가 있으면 넘긴 파라미터를 버리고 새 run.id 만 쓰기 때문에 chunkSize 가 무시됨)
+ *
+ * trMigrationJob 과 결과는 같지만 청크를 힙 밖에 쌓아두기 때문에
+ * 트랜잭션 횟수를 줄이려고 chunkSize 를 크게 올려도 힙 / GC 부담이 늘지 않음
+ *
+ * [MySQL 필수 설정] datasource url 에 useCursorFetch=true 가 있어야 함 (application.yaml 기본값에 포함)
+ * - Connector/J 는 이 옵션이 없으면 양수 fetchSize 를 무시하고 limit chunkSize 만큼의 결과를 전부 힙에 올린 뒤에야
+ *   RowCallbackHandler 를 호출하므로, off-heap 버퍼가 있어도 청크 크기만큼 힙을 쓰게 됨
+ * - 옵션이 있으면 서버 커서에서 READ_FETCH_SIZE 건씩 가져오므로 힙에는 fetch 한 묶음만 올라감
+ * - 같은 커넥션에서 쓰기(insert)는 커서를 다 읽고 닫은 뒤에 시작하므로 커서 방식과 충돌하지 않음
+ * - DB_URL 로 주소를 바꿀 때도 이 옵션을 같이 넘겨야 함
+ * - datasource 전체 옵션이라 앱 전체에 영향이 있음 (JPA / trMigrationJob / 배치 메타데이터 포함)
+ *   · useCursorFetch=true 는 useServerPrepStmts=true 를 같이 켜므로 모든 PreparedStatement 가 서버 측 prepare 가 됨
+ *     (statement 마다 prepare 왕복이 한 번 더 생기고, 서버에 prepared statement 가 남아있는 동안 자원을 씀)
+ *   · 커서 방식 읽기는 fetchSize > 0 을 준 statement 에만 적용되고, 여기 말고는 fetchSize 를 주는 곳이 없어서 나머지 조회는 기존처럼 읽음
+ *   · 읽기와 쓰기가 같은 트랜잭션 커넥션을 써야 해서 이 Job 만 별도 DataSource 로 분리하지 않음
+ */
+@Configuration
+@RequiredArgsConstructor
+public class TrMigrationSpillConfig {
+
+    private static final long DEFAULT_CHUNK_SIZE = 10_000L;
+    private static final int WRITE_BATCH_SIZE = 500;   // JDBC batch insert 한 번에 보낼 건수 (힙에 올라가는 최대 건수)
+    private static final int READ_FETCH_SIZE = 500;    // 커서로 한 번에 가져올 행 수 (MySQL 은 useCursorFetch=true 일 때만 적용)
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+
+    /**
+     * Job 생성
+     * - chunkSize 는 ChunkSizeParamValidator 로 실행 전에 검증 (잘못된 값이면 JobExecution 자체가 만들어지지 않음)
+     */
+    @Bean
+    public Job trMigrationSpillJob(Step trMigrationSpillStep) {
+        return new JobBuilder("trMigrationSpillJob", jobRepository)
+                .validator(new ChunkSizeParamValidator())
+                .start(trMigrationSpillStep)
+                .build();
+    }
+
+    /**
+     * Step 생성
+     * - Tasklet 이 CONTINUABLE 을 반환할 때마다 트랜잭션이 커밋되므로 Tasklet 한 번 = 청크 하나
+     */
+    @Bean
+    public Step trMigrationSpillStep(TrMigrationSpillTasklet trMigrationSpillTasklet) {
+        return new StepBuilder("trMigrationSpillStep", jobRepository)
+                .tasklet(trMigrationSpillTasklet, transactionManager)
+                .build();
+    }
+
+    /**
+     * Tasklet 생성
+     * - StepScope: 실행마다 새 off-heap 버퍼를 쓰고, jobParameters 의 chunkSize 를 받기 위해 필요
+     */
+    @StepScope
+    @Bean
+    public TrMigrationSpillTasklet trMigrationSpillTasklet(@Value("#{jobParameters['chunkSize']}") Long chunkSize) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(READ_FETCH_SIZE);
+
+        // 범위는 ChunkSizeParamValidator 에서 검증됨
+        long size = chunkSize == null ? DEFAULT_CHUNK_SIZE : chunkSize;
+        return new TrMigrationSpillTasklet(jdbcTemplate, Math.toIntExact(size), WRITE_BATCH_SIZE);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.SpringBatchTutorial.job.DbDataReadWirete;
+
+import com.example.SpringBatchTutorial.core.buffer.OffHeapChunkBuffer;
+import com.example.SpringBatchTutorial.core.domain.accounts.Accounts;
+import com.example.SpringBatchTutorial.core.domain.accounts.AccountsCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.StepContribution;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
+import org.springframework.batch.infrastructure.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 주문 -> 정산 이관을 off-heap 버퍼로 처리하는 Tasklet
+ * - execute() 한 번이 트랜잭션 하나(= 청크 하나)이고, CONTINUABLE 을 반환하는 동안 반복 실행됨
+ * - 읽기: orders 를 커서로 흘려 읽으면서 Accounts 로 변환해 OffHeapChunkBuffer 에 기록 (엔티티 / 영속성 컨텍스트 X)
+ *   (MySQL 은 useCursorFetch=true 일 때만 커서로 읽음, TrMigrationSpillConfig 참고)
+ * - 쓰기: 버퍼에서 하나씩 decode 해서 writeBatchSize 단위로 JDBC batch insert
+ * - chunk(5) 방식(TrMigrationConfig)은 Chunk<Orders>, Chunk<Accounts> 와 영속성 컨텍스트가 청크 전체를 힙에 들고 있지만
+ *   여기서는 힙에 writeBatchSize 만큼만 올라가므로 chunkSize 를 크게 잡아도 힙 사용량이 거의 그대로
+ * - 마지막으로 이관한 주문 id 를 ExecutionContext 에 남겨서 재시작 시 이어서 처리
+ */
+@Slf4j
+public class TrMigrationSpillTasklet implements Tasklet {
+
+    static final String LAST_ORDER_ID_KEY = "trMigrationSpill.lastOrderId";
+
+    private static final String SELECT_ORDERS =
+            "select id, order_item, price, order_date from orders where id > ? order by id limit ?";
+    private static final String INSERT_ACCOUNTS =
+            "insert into accounts(order_item, price, order_date, account_date) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final int writeBatchSize;
+    private final OffHeapChunkBuffer<Accounts> buffer = new OffHeapChunkBuffer<>(new AccountsCodec());
+
+    public TrMigrationSpillTasklet(JdbcTemplate jdbcTemplate, int chunkSize, int writeBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        ExecutionContext stepContext = contribution.getStepExecution().getExecutionContext();
+        long lastOrderId = stepContext.getLong(LAST_ORDER_ID_KEY, 0L);
+
+        buffer.clear();
+        long[] maxOrderId = {lastOrderId};
+        Date accountDate = new Date();
+
+        // 1. 읽기 -> off-heap 버퍼 (커서를 다 읽고 닫은 뒤에 쓰기를 시작)
+        jdbcTemplate.query(SELECT_ORDERS, rs -> {
+            maxOrderId[0] = rs.getLong("id");
+            buffer.add(new Accounts(
+                    rs.getString("order_item"),
+                    rs.getObject("price", Integer.class),
+                    rs.getTimestamp("order_date"),
+                    accountDate
+            ));
+        }, lastOrderId, chunkSize);
+
+        // 2. off-heap 버퍼 -> 쓰기 (writeBatchSize 단위로 흘려서 저장)
+        List<Object[]> batchArgs = new ArrayList<>(writeBatchSize);
+        for (Accounts accounts : buffer) {
+            batchArgs.add(new Object[]{
+                    accounts.getOrderItem(),
+                    accounts.getPrice(),
+                    toTimestamp(accounts.getOrderDate()),
+                    toTimestamp(accounts.getAccountDate())
+            });
+            if (batchArgs.size() == writeBatchSize) {
+                jdbcTemplate.batchUpdate(INSERT_ACCOUNTS, batchArgs);
+                batchArgs.clear();
+            }
+        }
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ACCOUNTS, batchArgs);
+        }
+
+        int count = buffer.size();
+        for (int i = 0; i < count; i++) {
+            contribution.incrementReadCount();
+        }
+        contribution.incrementWriteCount(count);
+        stepContext.putLong(LAST_ORDER_ID_KEY, maxOrderId[0]);
+
+        log.debug("migrated {} orders (lastOrderId : {}, offHeap : {} bytes)", count, maxOrderId[0], buffer.allocatedBytes());
+
+        // 청크를 꽉 채웠으면 남은 주문이 있을 수 있으므로 한 번 더 실행
+        return count == chunkSize ? RepeatStatus.CONTINUABLE : RepeatStatus.FINISHED;
+    }
+
+    private static Timestamp toTimestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+}
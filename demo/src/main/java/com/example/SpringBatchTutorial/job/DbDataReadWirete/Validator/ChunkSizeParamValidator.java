@@ -0,0 +1,34 @@
+package com.example.SpringBatchTutorial.job.DbDataReadWirete.Validator;
+
+import org.springframework.batch.core.job.parameters.InvalidJobParametersException;
+import org.springframework.batch.core.job.parameters.JobParameter;
+import org.springframework.batch.core.job.parameters.JobParameters;
+import org.springframework.batch.core.job.parameters.JobParametersValidator;
+
+/**
+ * chunkSize 파라미터 검증 (없으면 기본값을 쓰므로 통과)
+ * - 0 이면 매번 0건을 읽고도 청크가 꽉 찼다고 판단해서 끝나지 않고, 음수는 limit 에서 SQL 에러가 남
+ * - 청크 건수를 int 로 다루므로 Integer.MAX_VALUE 를 넘으면 안 됨
+ * - 커맨드라인(chunkSize=100000)으로 넘기면 String, 코드에서 addLong 으로 넘기면 Long 으로 들어옴
+ */
+public class ChunkSizeParamValidator implements JobParametersValidator {
+
+    @Override
+    public void validate(JobParameters parameters) throws InvalidJobParametersException {
+        JobParameter<?> chunkSize = parameters.getParameter("chunkSize");
+        if (chunkSize == null) {
+            return;
+        }
+
+        long size;
+        try {
+            size = Long.parseLong(String.valueOf(chunkSize.value()).trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidJobParametersException("chunkSize must be a number : " + chunkSize.value());
+        }
+
+        if (size <= 0 || size > Integer.MAX_VALUE) {
+            throw new InvalidJobParametersException("chunkSize must be between 1 and " + Integer.MAX_VALUE + " : " + size);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.SpringBatchTutorial.job.NightlyFlow;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.listener.JobExecutionListener;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.StepExecution;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 잡 종료 후 Step 실행 시간으로 크리티컬 패스(전체 수행 시간을 결정한 Step 경로)를 계산
+ * - 가장 늦게 끝난 Step 에서 시작해서, 그 Step 이 시작하기 전에 가장 늦게 끝난 Step 을 거꾸로 따라감
+ * - split 으로 병렬 실행된 브랜치 중에서는 가장 오래 걸린 브랜치만 경로에 남게 됨
+ * - 결과는 로그와 JobExecution 의 ExecutionContext 에 기록 (BATCH_JOB_EXECUTION_CONTEXT 에서 확인 가능)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CriticalPathListener implements JobExecutionListener {
+
+    public static final String CRITICAL_PATH_KEY = "criticalPath";
+    public static final String CRITICAL_PATH_MILLIS_KEY = "criticalPathMillis";
+    public static final String WALL_CLOCK_MILLIS_KEY = "wallClockMillis";
+
+    private static final String PATH_DELIMITER = " -> ";
+    private static final String RESULT_MESSAGE = "{} critical path : [{}] {}ms (wall clock : {}ms)";
+
+    private final JobRepository jobRepository;
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        List<StepExecution> criticalPath = criticalPath(jobExecution);
+
+        long criticalPathMillis = criticalPathMillis(criticalPath);
+        String path = criticalPath.stream()
+                .map(StepExecution::getStepName)
+                .collect(Collectors.joining(PATH_DELIMITER));
+        long wallClockMillis = millisBetween(jobExecution.getStartTime(), jobExecution.getEndTime());
+
+        jobExecution.getExecutionContext().putString(CRITICAL_PATH_KEY, path);
+        jobExecution.getExecutionContext().putLong(CRITICAL_PATH_MILLIS_KEY, criticalPathMillis);
+        jobExecution.getExecutionContext().putLong(WALL_CLOCK_MILLIS_KEY, wallClockMillis);
+
+        // afterJob 이후에는 ExecutionContext 가 다시 저장되지 않으므로 직접 저장
+        jobRepository.updateExecutionContext(jobExecution);
+
+        log.info(RESULT_MESSAGE
+                , jobExecution.getJobInstance().getJobName()
+                , path
+                , criticalPathMillis
+                , wallClockMillis
+        );
+    }
+
+    static List<StepExecution> criticalPath(JobExecution jobExecution) {
+        List<StepExecution> finished = new ArrayList<>();
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            if (stepExecution.getStartTime() != null && stepExecution.getEndTime() != null) {
+                finished.add(stepExecution);
+            }
+        }
+
+        LinkedList<StepExecution> path = new LinkedList<>();
+        StepExecution current = finished.stream()
+                .max(Comparator.comparing(StepExecution::getEndTime))
+                .orElse(null);
+
+        while (current != null) {
+            path.addFirst(current);
+            LocalDateTime currentStart = current.getStartTime();
+            current = finished.stream()
+                    .filter(candidate -> !path.contains(candidate))
+                    .filter(candidate -> !candidate.getEndTime().isAfter(currentStart))
+                    .max(Comparator.comparing(StepExecution::getEndTime))
+                    .orElse(null);
+        }
+        return path;
+    }
+
+    static long criticalPathMillis(List<StepExecution> criticalPath) {
+        return criticalPath.stream()
+                .mapToLong(CriticalPathListener::durationMillis)
+                .sum();
+    }
+
+    private static long durationMillis(StepExecution stepExecution) {
+        return millisBetween(stepExecution.getStartTime(), stepExecution.getEndTime());
+    }
+
+    private static long millisBetween(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return 0L;
+        }
+        return Duration.between(start, end).toMillis();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.SpringBatchTutorial.job.NightlyFlow;
+
+import com.example.SpringBatchTutorial.core.domain.orders.OrdersRepository;
+import com.example.SpringBatchTutorial.job.JobListener.JobLoggerListener;
+import com.example.SpringBatchTutorial.job.ValidatedParam.Validator.FileParamValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.support.SimpleFlow;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.StepExecution;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
+import org.springframework.batch.infrastructure.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * desc: 서로 의존성이 없는 이관 / 집계 / 검증 Step 을 split 으로 동시에 실행하고 join Step 에서 합류
+ * run: --spring.batch.job.name=nightlyJob fileName=test.csv run.id=1
+ * - incrementer 가 없으므로 다시 실행할 때는 run.id 등 파라미터를 바꿔서 넘겨야 함
+ *   (Batch 6 은 incrementer 가 있으면 넘긴 파라미터를 버리고 새 run.id 만 쓰기 때문에 fileName 검증이 항상 실패함)
+ *
+ *              ┌ migrationFlow   (trMigrationStep)     ┐
+ *   nightlyJob ┼ aggregationFlow (ordersAggregateStep) ┼ nightlyJoinStep
+ *              └ validationFlow  (nightlyValidateStep) ┘
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class NightlyFlowJobConfig {
+
+    private final OrdersRepository ordersRepository;
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Job 생성
+     * - start(Flow) 로 시작하면 JobFlowBuilder 가 반환되어 split / next 로 흐름을 이어 붙일 수 있음
+     * - split 이 끝나야(모든 브랜치가 종료되어야) join Step 이 실행됨 (fan-out / fan-in)
+     * - 검증 브랜치가 validateParamJob 의 Tasklet 을 그대로 쓰기 때문에 파라미터 검증도 동일하게 걸어줌
+     */
+    @Bean
+    public Job nightlyJob(Step trMigrationStep,
+                          Step ordersAggregateStep,
+                          Step nightlyValidateStep,
+                          Step nightlyJoinStep,
+                          ThreadPoolTaskExecutor nightlyTaskExecutor) {
+        return new JobBuilder("nightlyJob", jobRepository)
+                .validator(new FileParamValidator())
+                .listener(new JobLoggerListener())
+                .listener(new CriticalPathListener(jobRepository))
+                .start(nightlySplitFlow(trMigrationStep, ordersAggregateStep, nightlyValidateStep, nightlyTaskExecutor))
+                .next(nightlyJoinStep)
+                .end()
+                .build();
+    }
+
+    /**
+     * 병렬 실행 Flow
+     * - 각 브랜치는 하나의 SimpleFlow 이고, split(taskExecutor) 에 넘긴 Executor 에서 동시에 실행됨
+     * - 브랜치 하나라도 실패하면 split 전체가 FAILED 로 끝나고 join Step 은 실행되지 않음
+     */
+    private Flow nightlySplitFlow(Step trMigrationStep,
+                                  Step ordersAggregateStep,
+                                  Step nightlyValidateStep,
+                                  ThreadPoolTaskExecutor nightlyTaskExecutor) {
+        Flow migrationFlow = new FlowBuilder<SimpleFlow>("migrationFlow")
+                .start(trMigrationStep)
+                .build();
+        Flow aggregationFlow = new FlowBuilder<SimpleFlow>("aggregationFlow")
+                .start(ordersAggregateStep)
+                .build();
+        Flow validationFlow = new FlowBuilder<SimpleFlow>("validationFlow")
+                .start(nightlyValidateStep)
+                .build();
+
+        return new FlowBuilder<SimpleFlow>("nightlySplitFlow")
+                .split(nightlyTaskExecutor)
+                .add(migrationFlow, aggregationFlow, validationFlow)
+                .build();
+    }
+
+    /**
+     * split 전용 Executor
+     * - 스레드 수를 nightly.split.pool-size 로 고정 (core = max), 컨텍스트가 뜰 때 초기화되고 내려갈 때 종료됨
+     * - 브랜치가 pool-size 보다 많으면 남는 브랜치는 큐에서 기다렸다가 앞 브랜치가 끝난 스레드에서 실행됨
+     *   (대기 시간만큼 split 이 길어지고, 그 브랜치는 CriticalPathListener 의 크리티컬 패스에 잡히게 됨)
+     * - Executor 빈이 생기면 스프링 부트 기본 applicationTaskExecutor 자동 설정은 꺼짐
+     */
+    @Bean
+    public ThreadPoolTaskExecutor nightlyTaskExecutor(@Value("${nightly.split.pool-size}") int poolSize) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setThreadNamePrefix("nightly-");
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        return taskExecutor;
+    }
+
+    /**
+     * 집계 Step: 주문 건수와 금액 합계를 구해서 StepExecution 의 ExecutionContext 에 저장
+     */
+    @Bean
+    public Step ordersAggregateStep() {
+        return new StepBuilder("ordersAggregateStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    long orderCount = ordersRepository.count();
+                    long priceSum = ordersRepository.sumPrice();
+
+                    ExecutionContext stepContext = contribution.getStepExecution().getExecutionContext();
+                    stepContext.putLong("orderCount", orderCount);
+                    stepContext.putLong("orderPriceSum", priceSum);
+
+                    log.info("orders aggregated. (count : {}, priceSum : {})", orderCount, priceSum);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    /**
+     * 검증 Step: validateParamJob 의 Tasklet 을 재사용
+     * - validateParamJobStep 은 @JobScope 라서 split 의 다른 스레드에서는 Job 컨텍스트를 찾지 못함
+     *   그래서 Step 은 여기서 새로 만들고 (@StepScope 인) Tasklet 만 주입받음
+     */
+    @Bean
+    public Step nightlyValidateStep(Tasklet validateParamTasklet) {
+        return new StepBuilder("nightlyValidateStep", jobRepository)
+                .tasklet(validateParamTasklet, transactionManager)
+                .build();
+    }
+
+    /**
+     * join Step: split 의 모든 브랜치가 끝난 뒤 각 Step 의 결과를 모아서 출력
+     */
+    @Bean
+    public Step nightlyJoinStep() {
+        return new StepBuilder("nightlyJoinStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    for (StepExecution stepExecution : contribution.getStepExecution().getJobExecution().getStepExecutions()) {
+                        log.info("{} : {} (read : {}, write : {})"
+                                , stepExecution.getStepName()
+                                , stepExecution.getStatus()
+                                , stepExecution.getReadCount()
+                                , stepExecution.getWriteCount()
+                        );
+                    }
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+}
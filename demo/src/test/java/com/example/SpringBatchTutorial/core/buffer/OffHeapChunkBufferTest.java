@@ -0,0 +1,70 @@
+package com.example.SpringBatchTutorial.core.buffer;
+
+import com.example.SpringBatchTutorial.core.domain.accounts.Accounts;
+import com.example.SpringBatchTutorial.core.domain.accounts.AccountsCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapChunkBufferTest {
+
+    @Test
+    void 세그먼트를_넘어가도_넣은_순서대로_읽힌다() {
+        // 세그먼트를 작게 잡아서 여러 세그먼트에 나눠 기록되게 함
+        OffHeapChunkBuffer<Accounts> buffer = new OffHeapChunkBuffer<>(new AccountsCodec(), 64);
+        List<Accounts> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Accounts accounts = new Accounts("교보문고" + i, i * 100, new Date(i * 1000L), new Date());
+            expected.add(accounts);
+            buffer.add(accounts);
+        }
+
+        assertThat(buffer.size()).isEqualTo(100);
+        assertThat(buffer.allocatedBytes()).isGreaterThan(64);
+        assertThat(buffer)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void null_필드도_그대로_복원된다() {
+        OffHeapChunkBuffer<Accounts> buffer = new OffHeapChunkBuffer<>(new AccountsCodec());
+        buffer.add(new Accounts(null, null, null, null));
+
+        Accounts decoded = buffer.iterator().next();
+
+        assertThat(decoded.getOrderItem()).isNull();
+        assertThat(decoded.getPrice()).isNull();
+        assertThat(decoded.getOrderDate()).isNull();
+        assertThat(decoded.getAccountDate()).isNull();
+    }
+
+    @Test
+    void clear_후에는_세그먼트를_재사용한다() {
+        OffHeapChunkBuffer<Accounts> buffer = new OffHeapChunkBuffer<>(new AccountsCodec(), 64);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(new Accounts("치킨", 21000, new Date(), new Date()));
+        }
+        long allocated = buffer.allocatedBytes();
+
+        buffer.clear();
+        buffer.add(new Accounts("커피", 4000, new Date(), new Date()));
+
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.allocatedBytes()).isEqualTo(allocated);
+        assertThat(buffer).extracting(Accounts::getOrderItem).containsExactly("커피");
+    }
+
+    @Test
+    void 세그먼트보다_큰_아이템은_거부한다() {
+        OffHeapChunkBuffer<Accounts> buffer = new OffHeapChunkBuffer<>(new AccountsCodec(), 16);
+
+        assertThatThrownBy(() -> buffer.add(new Accounts("아주 긴 주문 이름입니다", 1000, new Date(), new Date())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
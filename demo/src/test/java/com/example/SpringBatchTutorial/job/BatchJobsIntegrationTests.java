@@ -0,0 +1,161 @@
+package com.example.SpringBatchTutorial.job;
+
+import com.example.SpringBatchTutorial.job.NightlyFlow.CriticalPathListener;
+import com.example.SpringBatchTutorial.support.BatchJobTestHarness;
+import com.example.SpringBatchTutorial.support.BatchJobTestHarness.JobRun;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.parameters.InvalidJobParametersException;
+import org.springframework.batch.core.job.parameters.JobParameters;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 내장 H2(MySQL 모드) 위에서 실제 Job 을 실행하는 통합 테스트
+ * run: ./gradlew test (MySQL 불필요)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchJobsIntegrationTests {
+
+    @Autowired
+    private BatchJobTestHarness harness;
+
+    @Autowired
+    @Qualifier("trMigrationJob")
+    private Job trMigrationJob;
+
+    @Autowired
+    @Qualifier("trMigrationSpillJob")
+    private Job trMigrationSpillJob;
+
+    @Autowired
+    @Qualifier("validateParamJob")
+    private Job validateParamJob;
+
+    @Autowired
+    @Qualifier("JobListener")
+    private Job jobListenerJob;
+
+    @Autowired
+    @Qualifier("nightlyJob")
+    private Job nightlyJob;
+
+    @BeforeEach
+    void setUp() {
+        harness.clearTables();
+    }
+
+    @Test
+    void trMigrationJob_모든_주문이_정산으로_이관된다() throws Exception {
+        int rows = harness.getSeedRows();
+        long priceSum = harness.seedOrders(rows);
+
+        JobRun jobRun = harness.run(trMigrationJob, uniqueParameters().toJobParameters());
+
+        assertThat(jobRun.jobExecution().getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(harness.count("accounts")).isEqualTo(rows);
+        assertThat(harness.sumPrice("accounts")).isEqualTo(priceSum);
+        harness.assertThroughput(jobRun, rows);
+        harness.assertHeap(jobRun);
+    }
+
+    @Test
+    void trMigrationSpillJob_큰_청크도_모든_주문이_정산으로_이관된다() throws Exception {
+        int rows = harness.getSeedRows();
+        long priceSum = harness.seedOrders(rows);
+
+        // 청크 하나에 전부 들어가지 않도록 해서 CONTINUABLE 로 이어서 처리되는지도 확인
+        JobParameters jobParameters = uniqueParameters()
+                .addLong("chunkSize", (long) rows / 3)
+                .toJobParameters();
+
+        JobRun jobRun = harness.run(trMigrationSpillJob, jobParameters);
+
+        assertThat(jobRun.jobExecution().getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(harness.count("accounts")).isEqualTo(rows);
+        assertThat(harness.sumPrice("accounts")).isEqualTo(priceSum);
+        harness.assertThroughput(jobRun, rows);
+        harness.assertHeap(jobRun);
+    }
+
+    @Test
+    void trMigrationSpillJob_chunkSize_가_0_이하면_실행되지_않는다() {
+        harness.seedOrders(10);
+        JobParameters jobParameters = uniqueParameters()
+                .addLong("chunkSize", 0L)
+                .toJobParameters();
+
+        assertThatThrownBy(() -> harness.run(trMigrationSpillJob, jobParameters))
+                .isInstanceOf(InvalidJobParametersException.class);
+        assertThat(harness.count("accounts")).isZero();
+    }
+
+    @Test
+    void validateParamJob_csv_파일이면_완료된다() throws Exception {
+        JobParameters jobParameters = uniqueParameters()
+                .addString("fileName", "test.csv")
+                .toJobParameters();
+
+        JobRun jobRun = harness.run(validateParamJob, jobParameters);
+
+        assertThat(jobRun.jobExecution().getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        harness.assertHeap(jobRun);
+    }
+
+    @Test
+    void validateParamJob_csv_파일이_아니면_실행되지_않는다() {
+        JobParameters jobParameters = uniqueParameters()
+                .addString("fileName", "test.txt")
+                .toJobParameters();
+
+        assertThatThrownBy(() -> harness.run(validateParamJob, jobParameters))
+                .isInstanceOf(InvalidJobParametersException.class);
+    }
+
+    @Test
+    void JobListener_Step_에러가_나면_FAILED_로_끝난다() throws Exception {
+        JobRun jobRun = harness.run(jobListenerJob, uniqueParameters().toJobParameters());
+
+        assertThat(jobRun.jobExecution().getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(jobRun.jobExecution().getAllFailureExceptions())
+                .extracting(Throwable::getMessage)
+                .contains("테스트를 위해 강제로 발생시킨 에러입니다.");
+        harness.assertHeap(jobRun);
+    }
+
+    @Test
+    void nightlyJob_병렬_브랜치가_끝나면_크리티컬_패스를_기록한다() throws Exception {
+        int rows = harness.getSeedRows();
+        long priceSum = harness.seedOrders(rows);
+        JobParameters jobParameters = uniqueParameters()
+                .addString("fileName", "test.csv")
+                .toJobParameters();
+
+        JobRun jobRun = harness.run(nightlyJob, jobParameters);
+
+        assertThat(jobRun.jobExecution().getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(harness.count("accounts")).isEqualTo(rows);
+        assertThat(harness.sumPrice("accounts")).isEqualTo(priceSum);
+
+        ExecutionContext jobContext = jobRun.jobExecution().getExecutionContext();
+        assertThat(jobContext.getString(CriticalPathListener.CRITICAL_PATH_KEY)).endsWith("nightlyJoinStep");
+        assertThat(jobContext.containsKey(CriticalPathListener.CRITICAL_PATH_MILLIS_KEY)).isTrue();
+        assertThat(jobContext.getLong(CriticalPathListener.WALL_CLOCK_MILLIS_KEY))
+                .isGreaterThanOrEqualTo(jobContext.getLong(CriticalPathListener.CRITICAL_PATH_MILLIS_KEY));
+    }
+
+    // 같은 파라미터로 다시 실행하면 이미 완료된 JobInstance 로 판단하므로 실행마다 값을 바꿔줌
+    private static JobParametersBuilder uniqueParameters() {
+        return new JobParametersBuilder().addLong("run.id", System.nanoTime());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.SpringBatchTutorial.job.DbDataReadWirete;
+
+import com.example.SpringBatchTutorial.support.BatchJobTestHarness;
+import com.example.SpringBatchTutorial.support.BatchJobTestHarness.JobRun;
+import com.example.SpringBatchTutorial.support.ChunkHeapProbe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * trMigrationSpillJob 의 청크 크기를 키워도 힙 사용량이 늘지 않는지 확인
+ * - ChunkHeapProbe 로 DataSource 를 감싸야 해서 BatchJobsIntegrationTests 와 컨텍스트를 분리
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TrMigrationSpillHeapTests {
+
+    @Autowired
+    private BatchJobTestHarness harness;
+
+    @Autowired
+    private ChunkHeapProbe chunkHeapProbe;
+
+    @Autowired
+    @Qualifier("trMigrationSpillJob")
+    private Job trMigrationSpillJob;
+
+    @Value("${batch-test.spill-heap.seed-rows}")
+    private int seedRows;
+
+    @Value("${batch-test.spill-heap.small-chunk-size}")
+    private long smallChunkSize;
+
+    @Value("${batch-test.spill-heap.max-delta-mb}")
+    private long maxDeltaMb;
+
+    @BeforeEach
+    void setUp() {
+        harness.clearTables();
+    }
+
+    @Test
+    void 청크_크기를_키워도_청크를_들고_있는_힙은_늘지_않는다() throws Exception {
+        harness.seedOrders(seedRows);
+
+        long smallChunkHeap = chunkHeap(smallChunkSize);
+        long largeChunkHeap = chunkHeap(seedRows);
+
+        assertThat(largeChunkHeap - smallChunkHeap)
+                .as("chunk heap (chunkSize %d : %d bytes, chunkSize %d : %d bytes)"
+                        , smallChunkSize, smallChunkHeap, seedRows, largeChunkHeap)
+                .isLessThanOrEqualTo(maxDeltaMb * 1024 * 1024);
+    }
+
+    /**
+     * 첫 청크를 다 읽은 시점의 힙(GC 후) - 실행 전 힙(GC 후)
+     */
+    private long chunkHeap(long chunkSize) throws Exception {
+        harness.clearAccounts();
+        chunkHeapProbe.reset();
+        long baselineHeapBytes = BatchJobTestHarness.usedHeapAfterGc();
+
+        JobRun jobRun = harness.run(trMigrationSpillJob, new JobParametersBuilder()
+                .addLong("run.id", System.nanoTime())
+                .addLong("chunkSize", chunkSize)
+                .toJobParameters());
+
+        assertThat(jobRun.jobExecution().getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(harness.count("accounts")).isEqualTo(seedRows);
+        OptionalLong heapAtFirstWrite = chunkHeapProbe.getHeapAtFirstWrite();
+        assertThat(heapAtFirstWrite).isPresent();
+        return heapAtFirstWrite.getAsLong() - baselineHeapBytes;
+    }
+
+    @TestConfiguration
+    static class ChunkHeapProbeConfig {
+
+        // TrMigrationSpillTasklet 의 읽기 / 쓰기 쿼리 시작 부분
+        private static final String READ_SQL_PREFIX = "select id, order_item, price, order_date from orders";
+        private static final String WRITE_SQL_PREFIX = "insert into accounts";
+
+        @Bean
+        static BeanPostProcessor chunkHeapProbePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ChunkHeapProbe)) {
+                        return new ChunkHeapProbe(dataSource, READ_SQL_PREFIX, WRITE_SQL_PREFIX);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
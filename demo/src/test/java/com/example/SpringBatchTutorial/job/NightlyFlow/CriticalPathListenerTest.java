@@ -0,0 +1,76 @@
+package com.example.SpringBatchTutorial.job.NightlyFlow;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.step.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CriticalPathListenerTest {
+
+    private static final LocalDateTime JOB_START = LocalDateTime.of(2022, 3, 1, 0, 0);
+
+    private JobExecution jobExecution;
+    private long stepExecutionId;
+
+    @BeforeEach
+    void setUp() {
+        jobExecution = MetaDataInstanceFactory.createJobExecution();
+        stepExecutionId = 0;
+    }
+
+    @Test
+    void 병렬_브랜치_중_가장_오래_걸린_브랜치와_join_Step_이_경로가_된다() {
+        step("migrationStep", 0, 100);
+        step("aggregationStep", 0, 300);
+        step("validationStep", 0, 50);
+        step("joinStep", 310, 330);
+
+        List<StepExecution> path = CriticalPathListener.criticalPath(jobExecution);
+
+        assertThat(path).extracting(StepExecution::getStepName)
+                .containsExactly("aggregationStep", "joinStep");
+        assertThat(CriticalPathListener.criticalPathMillis(path)).isEqualTo(320);
+    }
+
+    @Test
+    void 순차_실행이면_모든_Step_이_경로가_된다() {
+        step("firstStep", 0, 100);
+        step("secondStep", 100, 250);
+        step("thirdStep", 250, 300);
+
+        List<StepExecution> path = CriticalPathListener.criticalPath(jobExecution);
+
+        assertThat(path).extracting(StepExecution::getStepName)
+                .containsExactly("firstStep", "secondStep", "thirdStep");
+        assertThat(CriticalPathListener.criticalPathMillis(path)).isEqualTo(300);
+    }
+
+    @Test
+    void 스레드가_부족해서_대기한_브랜치는_앞선_브랜치_뒤로_이어진다() {
+        // 동시 실행 2개 제한: waitingStep 은 shortStep 이 끝난 뒤에야 시작
+        step("longStep", 0, 200);
+        step("shortStep", 0, 100);
+        step("waitingStep", 100, 250);
+        step("joinStep", 260, 270);
+
+        List<StepExecution> path = CriticalPathListener.criticalPath(jobExecution);
+
+        assertThat(path).extracting(StepExecution::getStepName)
+                .containsExactly("shortStep", "waitingStep", "joinStep");
+        assertThat(CriticalPathListener.criticalPathMillis(path)).isEqualTo(260);
+    }
+
+    private void step(String stepName, long startMillis, long endMillis) {
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(jobExecution, stepName, ++stepExecutionId);
+        stepExecution.setStartTime(JOB_START.plusNanos(startMillis * 1_000_000));
+        stepExecution.setEndTime(JOB_START.plusNanos(endMillis * 1_000_000));
+        // createStepExecution 은 JobExecution 에 붙여주지 않으므로 직접 추가
+        jobExecution.addStepExecution(stepExecution);
+    }
+}
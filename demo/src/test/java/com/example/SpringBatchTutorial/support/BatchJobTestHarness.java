@@ -0,0 +1,182 @@
+package com.example.SpringBatchTutorial.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.job.parameters.JobParameters;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 테스트용 Job 실행 도구
+ * - orders 테이블에 N 건을 넣고 Job 을 실행한 뒤 건수 / 합계 / 처리량 / 힙 사용량을 검증
+ * - 기준값은 application-test.yaml 의 batch-test.* 에서 관리
+ * - 힙은 두 가지를 검증
+ *   1. old gen peak: 실행 직전에 old gen 풀의 peak 를 리셋하고, 실행 중 가장 높았던 사용량을 상한과 비교
+ *      (young gen 은 GC 시점에 따라 값이 크게 흔들리므로 제외, 오래 살아남거나 큰 객체만 올라가는 old gen 만 봄)
+ *   2. retained: 실행 전후 GC 후 사용량 차이 (Job 이 끝난 뒤에도 남아있는 메모리)
+ * - 실행 한 번에 GC 는 실행 전 / 후 한 번씩만 돌림
+ */
+@Component
+public class BatchJobTestHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchJobTestHarness.class);
+
+    private static final String[] ORDER_ITEMS = {"카카오 선물", "배달주문", "교보문고", "아이스크림", "치킨", "커피"};
+    private static final LocalDate ORDER_DATE = LocalDate.of(2022, 3, 1);
+    private static final String MIN_ROWS_PER_SECOND_KEY = "batch-test.min-rows-per-second.";
+    private static final MemoryPoolMXBean OLD_GEN_POOL = oldGenPool();
+
+    private final JobOperator jobOperator;
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+    private final int seedRows;
+    private final long maxHeapBytes;
+    private final long maxRetainedHeapBytes;
+
+    public BatchJobTestHarness(JobOperator jobOperator,
+                               JdbcTemplate jdbcTemplate,
+                               Environment environment,
+                               @Value("${batch-test.seed-rows}") int seedRows,
+                               @Value("${batch-test.max-heap-mb}") long maxHeapMb,
+                               @Value("${batch-test.max-retained-heap-mb}") long maxRetainedHeapMb) {
+        this.jobOperator = jobOperator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.environment = environment;
+        this.seedRows = seedRows;
+        this.maxHeapBytes = maxHeapMb * 1024 * 1024;
+        this.maxRetainedHeapBytes = maxRetainedHeapMb * 1024 * 1024;
+    }
+
+    public int getSeedRows() {
+        return seedRows;
+    }
+
+    public void clearTables() {
+        clearAccounts();
+        jdbcTemplate.update("delete from orders");
+    }
+
+    public void clearAccounts() {
+        jdbcTemplate.update("delete from accounts");
+    }
+
+    /**
+     * orders 에 rows 건을 넣고 넣은 금액의 합계를 반환
+     */
+    public long seedOrders(int rows) {
+        List<Object[]> batchArgs = new ArrayList<>(rows);
+        long priceSum = 0;
+        for (int i = 0; i < rows; i++) {
+            int price = 1000 + (i % 50) * 100;
+            priceSum += price;
+            batchArgs.add(new Object[]{
+                    ORDER_ITEMS[i % ORDER_ITEMS.length],
+                    price,
+                    Date.valueOf(ORDER_DATE.plusDays(i % 30))
+            });
+        }
+        jdbcTemplate.batchUpdate("insert into orders(order_item, price, order_date) values (?, ?, ?)", batchArgs);
+        return priceSum;
+    }
+
+    public long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    public long sumPrice(String table) {
+        return jdbcTemplate.queryForObject("select coalesce(sum(price), 0) from " + table, Long.class);
+    }
+
+    /**
+     * Job 실행 + 실행 시간 / 실행 중 old gen peak / 실행 후에도 남은 힙 증가분 측정
+     * - JobOperator.start 는 incrementer 가 있는 Job 이면 넘긴 파라미터를 버리고 다음 run.id 로만 실행하므로
+     *   파라미터 검증 / chunkSize 등을 그대로 넘기기 위해 JobLauncher.run 으로 실행
+     */
+    @SuppressWarnings("deprecation")
+    public JobRun run(Job job, JobParameters jobParameters) throws Exception {
+        long baselineHeapBytes = usedHeapAfterGc();
+        OLD_GEN_POOL.resetPeakUsage();
+
+        long startNanos = System.nanoTime();
+        JobExecution jobExecution = jobOperator.run(job, jobParameters);
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        long peakOldGenBytes = OLD_GEN_POOL.getPeakUsage().getUsed();
+        long retainedHeapBytes = usedHeapAfterGc() - baselineHeapBytes;
+        return new JobRun(jobExecution, elapsedNanos, peakOldGenBytes, retainedHeapBytes);
+    }
+
+    /**
+     * 처리량이 batch-test.min-rows-per-second.{jobName} 아래로 떨어지면 실패
+     */
+    public void assertThroughput(JobRun jobRun, long rows) {
+        double minRowsPerSecond = environment.getRequiredProperty(MIN_ROWS_PER_SECOND_KEY + jobRun.jobName(), Double.class);
+        double rowsPerSecond = jobRun.rowsPerSecond(rows);
+        log.info("{} throughput : {} rows/s (floor : {} rows/s)", jobRun.jobName(), Math.round(rowsPerSecond), minRowsPerSecond);
+
+        assertThat(rowsPerSecond)
+                .as("%s throughput (rows/s)", jobRun.jobName())
+                .isGreaterThanOrEqualTo(minRowsPerSecond);
+    }
+
+    /**
+     * 실행 중 old gen peak 가 batch-test.max-heap-mb 를 넘거나
+     * Job 이 끝난 뒤에도 남은 힙 증가분이 batch-test.max-retained-heap-mb 를 넘으면 실패
+     */
+    public void assertHeap(JobRun jobRun) {
+        log.info("{} old gen peak : {} bytes, retained heap : {} bytes"
+                , jobRun.jobName(), jobRun.peakOldGenBytes(), jobRun.retainedHeapBytes());
+
+        assertThat(jobRun.peakOldGenBytes())
+                .as("%s old gen peak (bytes)", jobRun.jobName())
+                .isLessThanOrEqualTo(maxHeapBytes);
+        assertThat(jobRun.retainedHeapBytes())
+                .as("%s retained heap (bytes)", jobRun.jobName())
+                .isLessThanOrEqualTo(maxRetainedHeapBytes);
+    }
+
+    /**
+     * GC 후 힙 사용량
+     */
+    public static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * GC 종류별로 이름이 다름 (G1 Old Gen / PS Old Gen / Tenured Gen ...) 이라 Eden / Survivor 가 아닌 힙 풀을 old gen 으로 봄
+     */
+    private static MemoryPoolMXBean oldGenPool() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(pool -> !pool.getName().contains("Eden") && !pool.getName().contains("Survivor"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("old gen memory pool not found"));
+    }
+
+    public record JobRun(JobExecution jobExecution, long elapsedNanos, long peakOldGenBytes, long retainedHeapBytes) {
+
+        public String jobName() {
+            return jobExecution.getJobInstance().getJobName();
+        }
+
+        public double rowsPerSecond(long rows) {
+            return rows / (Math.max(elapsedNanos, 1L) / 1_000_000_000.0);
+        }
+    }
+}
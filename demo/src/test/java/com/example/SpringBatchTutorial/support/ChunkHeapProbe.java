@@ -0,0 +1,83 @@
+package com.example.SpringBatchTutorial.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.OptionalLong;
+
+/**
+ * 청크를 다 읽고 첫 쓰기를 시작하는 순간의 힙 사용량(GC 후)을 기록하는 DataSource
+ * - readSqlPrefix 로 시작하는 쿼리가 준비된 뒤, 처음으로 writeSqlPrefix 쿼리가 준비될 때 한 번 측정
+ * - 첫 청크만 기록 (이후 청크는 GC 를 돌리지 않아서 Job 실행 시간에 영향이 없음), reset() 으로 다시 측정 가능
+ * - 이 시점에는 청크 전체가 버퍼에 있고 아직 DB 에는 이번 청크를 쓰지 않았으므로
+ *   측정값 차이가 곧 청크를 들고 있는 데 드는 힙 (H2 의 insert / undo 데이터가 섞이지 않음)
+ * - 청크 크기별 비교에 쓰는 측정 전용 도구라서 별도 테스트 컨텍스트에서만 사용
+ */
+public class ChunkHeapProbe extends DelegatingDataSource {
+
+    private final String readSqlPrefix;
+    private final String writeSqlPrefix;
+    private volatile boolean readPrepared;
+    private volatile boolean recorded;
+    private volatile long heapAtFirstWrite;
+
+    public ChunkHeapProbe(DataSource targetDataSource, String readSqlPrefix, String writeSqlPrefix) {
+        super(targetDataSource);
+        this.readSqlPrefix = readSqlPrefix;
+        this.writeSqlPrefix = writeSqlPrefix;
+    }
+
+    /**
+     * 첫 청크에서 기록한 힙 사용량 (GC 후, bytes), 아직 첫 쓰기 전이면 empty
+     */
+    public OptionalLong getHeapAtFirstWrite() {
+        return recorded ? OptionalLong.of(heapAtFirstWrite) : OptionalLong.empty();
+    }
+
+    public void reset() {
+        readPrepared = false;
+        recorded = false;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return probe(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return probe(super.getConnection(username, password));
+    }
+
+    private Connection probe(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                ChunkHeapProbe.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("prepareStatement".equals(method.getName()) && args != null && args[0] instanceof String sql) {
+                        onPrepare(sql);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private void onPrepare(String sql) {
+        if (recorded) {
+            return;
+        }
+        if (sql.startsWith(readSqlPrefix)) {
+            readPrepared = true;
+        } else if (readPrepared && sql.startsWith(writeSqlPrefix)) {
+            heapAtFirstWrite = BatchJobTestHarness.usedHeapAfterGc();
+            recorded = true;
+        }
+    }
+}